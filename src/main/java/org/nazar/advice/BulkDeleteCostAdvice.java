@@ -0,0 +1,44 @@
+package org.nazar.advice;
+
+import java.lang.reflect.Type;
+import org.nazar.interceptors.TrafficControlInterceptor;
+import org.nazar.models.dto.BulkDeleteByEmailDto;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+/**
+ * Charges a bulk delete by email one write per email, capped at the bucket capacity. The
+ * interceptor cannot see the body, so the charge is raised here once the list has been
+ * read and before the controller starts the job.
+ */
+@ControllerAdvice
+public class BulkDeleteCostAdvice extends RequestBodyAdviceAdapter {
+
+    private final TrafficControlInterceptor trafficControlInterceptor;
+
+    public BulkDeleteCostAdvice(TrafficControlInterceptor trafficControlInterceptor) {
+        this.trafficControlInterceptor = trafficControlInterceptor;
+    }
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return BulkDeleteByEmailDto.class.equals(targetType);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        BulkDeleteByEmailDto request = (BulkDeleteByEmailDto) body;
+        if (request.getEmails() != null
+                && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            trafficControlInterceptor.chargeWrites(attributes.getRequest(), request.getEmails().size());
+        }
+        return body;
+    }
+}
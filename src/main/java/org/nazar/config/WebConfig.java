@@ -0,0 +1,70 @@
+package org.nazar.config;
+
+import java.util.Set;
+import org.nazar.interceptors.TrafficControlInterceptor;
+import org.nazar.limiter.AdaptiveConcurrencyLimiter;
+import org.nazar.limiter.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${rate-limit.capacity:100}")
+    private long capacity;
+
+    @Value("${rate-limit.refill-per-second:50}")
+    private long refillPerSecond;
+
+    @Value("${rate-limit.max-tracked-clients:10000}")
+    private int maxTrackedClients;
+
+    @Value("${rate-limit.trusted-proxies:}")
+    private Set<String> trustedProxies;
+
+    @Value("${rate-limit.cost.write:1}")
+    private long writeCost;
+
+    @Value("${rate-limit.cost.scan:5}")
+    private long scanCost;
+
+    @Value("${rate-limit.cost.scan-per-year:1}")
+    private long scanCostPerYear;
+
+    @Value("${load-shedding.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${load-shedding.min-limit:4}")
+    private int minLimit;
+
+    @Value("${load-shedding.max-limit:200}")
+    private int maxLimit;
+
+    @Value("${load-shedding.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${load-shedding.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${load-shedding.window-millis:1000}")
+    private long windowMillis;
+
+    @Bean
+    public TrafficControlInterceptor trafficControlInterceptor() {
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(capacity, refillPerSecond, maxTrackedClients);
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio, windowMillis);
+
+        return new TrafficControlInterceptor(rateLimiter, concurrencyLimiter,
+                trustedProxies, writeCost, scanCost, scanCostPerYear);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(trafficControlInterceptor())
+                .addPathPatterns("/api/**");
+    }
+}
@@ -3,7 +3,11 @@ package org.nazar.controllers;
 import jakarta.validation.Valid;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
+import org.nazar.models.dto.BulkDeleteByEmailDto;
+import org.nazar.models.dto.BulkDeleteJobDto;
 import org.nazar.models.dto.UserDto;
+import org.nazar.service.BulkDeleteService;
 import org.nazar.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,9 +24,11 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/v1/users")
 public class UserController {
     private final UserService userService;
+    private final BulkDeleteService bulkDeleteService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, BulkDeleteService bulkDeleteService) {
         this.userService = userService;
+        this.bulkDeleteService = bulkDeleteService;
     }
 
     @PostMapping
@@ -48,4 +54,22 @@ public class UserController {
         List<UserDto> users = userService.getUsersByBirthDateRange(startDate, endDate);
         return ResponseEntity.ok(users);
     }
+
+    @PostMapping("/deletions/by-email")
+    public ResponseEntity<BulkDeleteJobDto> deleteUsersByEmails(@RequestBody @Valid BulkDeleteByEmailDto request) {
+        BulkDeleteJobDto job = bulkDeleteService.deleteUsersByEmails(request.getEmails());
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @PostMapping("/deletions/by-birth-date")
+    public ResponseEntity<BulkDeleteJobDto> deleteUsersByBirthDateRange(@RequestParam("start") LocalDate startDate, @RequestParam("end") LocalDate endDate) {
+        BulkDeleteJobDto job = bulkDeleteService.deleteUsersByBirthDateRange(startDate, endDate);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<BulkDeleteJobDto> getBulkDeleteJob(@PathVariable UUID jobId) {
+        BulkDeleteJobDto job = bulkDeleteService.getJob(jobId);
+        return ResponseEntity.ok(job);
+    }
 }
@@ -0,0 +1,149 @@
+package org.nazar.interceptors;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.nazar.exceptions.RateLimitExceededException;
+import org.nazar.exceptions.ServiceOverloadedException;
+import org.nazar.limiter.AdaptiveConcurrencyLimiter;
+import org.nazar.limiter.AdaptiveConcurrencyLimiter.RequestClass;
+import org.nazar.limiter.TokenBucketRateLimiter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies the per-client rate limit and the concurrency limit before a handler runs.
+ * Rejections are thrown as exceptions so they are rendered by {@code GlobalExceptionHandler}.
+ */
+public class TrafficControlInterceptor implements HandlerInterceptor {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final String STARTED_AT_ATTRIBUTE = TrafficControlInterceptor.class.getName() + ".startedAt";
+    private static final String REQUEST_CLASS_ATTRIBUTE = TrafficControlInterceptor.class.getName() + ".requestClass";
+    private static final String CHARGED_ATTRIBUTE = TrafficControlInterceptor.class.getName() + ".charged";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Set<String> trustedProxies;
+    private final long writeCost;
+    private final long scanCost;
+    private final long scanCostPerYear;
+
+    public TrafficControlInterceptor(TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                     Set<String> trustedProxies, long writeCost, long scanCost, long scanCostPerYear) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.writeCost = writeCost;
+        this.scanCost = scanCost;
+        this.scanCostPerYear = scanCostPerYear;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        String clientId = resolveClientId(request);
+        long cost = estimateCost(request);
+        long waitNanos = rateLimiter.tryAcquire(clientId, cost);
+        if (waitNanos > 0) {
+            throw rateLimitExceeded(waitNanos);
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            rateLimiter.refund(clientId, cost);
+            throw new ServiceOverloadedException("Server is overloaded, please retry later");
+        }
+        request.setAttribute(CHARGED_ATTRIBUTE, cost);
+        request.setAttribute(REQUEST_CLASS_ATTRIBUTE, isRangeRequest(request) ? RequestClass.SCAN : RequestClass.POINT);
+        request.setAttribute(STARTED_AT_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(STARTED_AT_ATTRIBUTE) instanceof Long startedAt
+                && request.getAttribute(REQUEST_CLASS_ATTRIBUTE) instanceof RequestClass requestClass) {
+            concurrencyLimiter.release(requestClass, System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * Raises the charge for a request whose real size is only known once its body has been
+     * read, such as a bulk delete by email list, to {@code items} point writes. The total is
+     * capped at the bucket capacity so a large request can still pass from a full bucket.
+     * If the rest cannot be paid, what {@link #preHandle} took is refunded as well.
+     */
+    public void chargeWrites(HttpServletRequest request, long items) {
+        long charged = request.getAttribute(CHARGED_ATTRIBUTE) instanceof Long cost ? cost : 0;
+        long capacity = rateLimiter.getCapacity();
+        long total = Math.min(Math.min(items, capacity) * writeCost, capacity);
+        long remaining = total - charged;
+        if (remaining <= 0) {
+            return;
+        }
+        String clientId = resolveClientId(request);
+        long waitNanos = rateLimiter.tryAcquire(clientId, remaining);
+        if (waitNanos > 0) {
+            rateLimiter.refund(clientId, charged);
+            request.removeAttribute(CHARGED_ATTRIBUTE);
+            throw rateLimitExceeded(waitNanos);
+        }
+        request.setAttribute(CHARGED_ATTRIBUTE, total);
+    }
+
+    private RateLimitExceededException rateLimitExceeded(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new RateLimitExceededException("Rate limit exceeded, retry in " + retryAfterSeconds + "s", retryAfterSeconds);
+    }
+
+    /**
+     * Prefers the authenticated principal, then the remote address. The client id header is
+     * only honoured when the request comes from a trusted proxy, because anyone else could
+     * send a fresh value with every request to get a fresh bucket.
+     */
+    private String resolveClientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String remoteAddress = request.getRemoteAddr();
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+        if (clientId != null && !clientId.isBlank() && trustedProxies.contains(remoteAddress)) {
+            return "client:" + clientId;
+        }
+        return "address:" + remoteAddress;
+    }
+
+    private boolean isRangeRequest(HttpServletRequest request) {
+        return request.getParameter("start") != null && request.getParameter("end") != null;
+    }
+
+    /**
+     * Point requests such as writes and job lookups have a flat cost. Range scans,
+     * including range deletes, are charged by the width of the requested birth-date
+     * range, which is the best estimate of the result size available before the scan.
+     */
+    private long estimateCost(HttpServletRequest request) {
+        if (!isRangeRequest(request)) {
+            return writeCost;
+        }
+        try {
+            LocalDate start = LocalDate.parse(request.getParameter("start"));
+            LocalDate end = LocalDate.parse(request.getParameter("end"));
+            long years = ChronoUnit.YEARS.between(start, end);
+            long chargedYears = Math.min(Math.max(0, years), rateLimiter.getCapacity());
+            return scanCost + chargedYears * scanCostPerYear;
+        } catch (DateTimeParseException e) {
+            return scanCost;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.nazar.limiter;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of in-flight requests with an AIMD limit that is adjusted once per
+ * sampling window. For each request class the window's mean latency is compared with that
+ * class's baseline, the lowest window mean over the last few windows. The limit is cut
+ * once when the window was saturated and some class got slower than the baseline allows;
+ * it grows by one when the window was healthy and the limit was actually in use. A server
+ * that is not near its limit is never shed, however much individual requests vary.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum RequestClass {
+        POINT,
+        SCAN
+    }
+
+    private static final int BASELINE_WINDOWS = 10;
+    private static final int SATURATION_PERCENT = 80;
+    private static final long NO_SAMPLE = Long.MAX_VALUE;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicLong windowStartNanos;
+    private final AtomicLongArray windowLatencySum;
+    private final AtomicLongArray windowLatencyCount;
+    private final AtomicLongArray baselineLatency;
+    private final long[][] meanLatencyHistory;
+    private int historyIndex;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double latencyTolerance, double backoffRatio, long windowMillis) {
+        this(initialLimit, minLimit, maxLimit, latencyTolerance, backoffRatio, windowMillis, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance,
+                               double backoffRatio, long windowMillis, LongSupplier nanoClock) {
+        if (minLimit <= 0 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 0 < min <= initial <= max");
+        }
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Sampling window must be positive");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.nanoClock = nanoClock;
+        this.limit = new AtomicInteger(initialLimit);
+        this.windowStartNanos = new AtomicLong(nanoClock.getAsLong());
+
+        int classes = RequestClass.values().length;
+        this.windowLatencySum = new AtomicLongArray(classes);
+        this.windowLatencyCount = new AtomicLongArray(classes);
+        this.baselineLatency = new AtomicLongArray(classes);
+        this.meanLatencyHistory = new long[classes][BASELINE_WINDOWS];
+        for (int i = 0; i < classes; i++) {
+            baselineLatency.set(i, NO_SAMPLE);
+            Arrays.fill(meanLatencyHistory[i], NO_SAMPLE);
+        }
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    public void release(RequestClass requestClass, long latencyNanos) {
+        inFlight.decrementAndGet();
+
+        int index = requestClass.ordinal();
+        windowLatencySum.addAndGet(index, latencyNanos);
+        windowLatencyCount.incrementAndGet(index);
+
+        long now = nanoClock.getAsLong();
+        if (now - windowStartNanos.get() >= windowNanos) {
+            closeWindow(now);
+        }
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Applies at most one limit change for the finished window and folds its per-class
+     * mean latency into the baseline history.
+     */
+    private synchronized void closeWindow(long now) {
+        if (now - windowStartNanos.get() < windowNanos) {
+            return;
+        }
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        boolean sampled = false;
+        boolean slow = false;
+
+        for (int i = 0; i < meanLatencyHistory.length; i++) {
+            long count = windowLatencyCount.getAndSet(i, 0);
+            long sum = windowLatencySum.getAndSet(i, 0);
+            long mean = count == 0 ? NO_SAMPLE : sum / count;
+            long baseline = baselineLatency.get(i);
+            if (mean != NO_SAMPLE) {
+                sampled = true;
+                slow |= baseline != NO_SAMPLE && mean > baseline * latencyTolerance;
+            }
+            meanLatencyHistory[i][historyIndex] = mean;
+            baselineLatency.set(i, Arrays.stream(meanLatencyHistory[i]).min().orElse(NO_SAMPLE));
+        }
+        historyIndex = (historyIndex + 1) % BASELINE_WINDOWS;
+
+        int currentLimit = limit.get();
+        boolean saturated = peak * 100 >= currentLimit * SATURATION_PERCENT;
+        if (slow && saturated) {
+            limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+        } else if (!slow && sampled && peak * 2 >= currentLimit) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+        windowStartNanos.set(now);
+    }
+}
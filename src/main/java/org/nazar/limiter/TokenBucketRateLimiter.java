@@ -0,0 +1,148 @@
+package org.nazar.limiter;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token bucket. Each bucket keeps its state in a single immutable snapshot
+ * that is swapped with compare-and-set, so acquiring tokens never takes a lock.
+ * At most {@code maxTrackedClients} buckets are kept; past that the least recently
+ * used ones are dropped in a batch, so the eviction cost is amortized over many inserts.
+ */
+public class TokenBucketRateLimiter {
+
+    private static final double EVICTION_HEADROOM = 0.1;
+
+    private final long capacity;
+    private final double refillPerNano;
+    private final int maxTrackedClients;
+    private final LongSupplier nanoClock;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public TokenBucketRateLimiter(long capacity, long refillPerSecond, int maxTrackedClients) {
+        this(capacity, refillPerSecond, maxTrackedClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(long capacity, long refillPerSecond, int maxTrackedClients, LongSupplier nanoClock) {
+        if (capacity <= 0 || refillPerSecond <= 0 || maxTrackedClients <= 0) {
+            throw new IllegalArgumentException("Capacity, refill rate and tracked clients must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = (double) refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.maxTrackedClients = maxTrackedClients;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Tries to take {@code cost} tokens from the client's bucket. Costs above the bucket
+     * capacity are clamped so that an expensive request can still eventually pass.
+     *
+     * @return 0 if the tokens were granted, otherwise the nanoseconds until enough tokens refill
+     */
+    public long tryAcquire(String clientId, long cost) {
+        return bucketFor(clientId).tryAcquire(clamp(cost));
+    }
+
+    /**
+     * Gives back tokens taken by {@link #tryAcquire} for a request that was rejected later on.
+     */
+    public void refund(String clientId, long cost) {
+        Bucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            bucket.refund(clamp(cost));
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    int getTrackedClientCount() {
+        return buckets.size();
+    }
+
+    private long clamp(long cost) {
+        return Math.min(Math.max(cost, 1), capacity);
+    }
+
+    private Bucket bucketFor(String clientId) {
+        long now = nanoClock.getAsLong();
+        Bucket bucket = buckets.get(clientId);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(clientId, id -> new Bucket(capacity, now));
+            if (buckets.size() > maxTrackedClients) {
+                evictLeastRecentlyUsed(bucket);
+            }
+        }
+        bucket.lastUsedNanos = now;
+        return bucket;
+    }
+
+    /**
+     * Drops the least recently used buckets until the map is back below the cap with some
+     * headroom. Only one thread evicts at a time; others keep going without waiting.
+     */
+    private void evictLeastRecentlyUsed(Bucket keep) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = (int) (maxTrackedClients * (1 - EVICTION_HEADROOM));
+            int excess = buckets.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, Bucket>> oldest = buckets.entrySet().stream()
+                    .filter(entry -> entry.getValue() != keep)
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos))
+                    .limit(excess)
+                    .toList();
+            oldest.forEach(entry -> buckets.remove(entry.getKey(), entry.getValue()));
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private final class Bucket {
+        private final AtomicReference<State> state;
+        private volatile long lastUsedNanos;
+
+        private Bucket(double tokens, long now) {
+            this.state = new AtomicReference<>(new State(tokens, now));
+            this.lastUsedNanos = now;
+        }
+
+        private long tryAcquire(long cost) {
+            while (true) {
+                State current = state.get();
+                long now = nanoClock.getAsLong();
+                double available = refill(current, now);
+                if (available < cost) {
+                    return Math.max(1, (long) Math.ceil((cost - available) / refillPerNano));
+                }
+                if (state.compareAndSet(current, new State(available - cost, Math.max(now, current.refilledAtNanos())))) {
+                    return 0;
+                }
+            }
+        }
+
+        private void refund(long cost) {
+            state.updateAndGet(current -> new State(Math.min(capacity, current.tokens() + cost), current.refilledAtNanos()));
+        }
+
+        private double refill(State current, long now) {
+            long elapsed = Math.max(0, now - current.refilledAtNanos());
+            return Math.min(capacity, current.tokens() + elapsed * refillPerNano);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.nazar.models.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteByEmailDto {
+
+    public static final int MAX_EMAILS = 10_000;
+
+    @NotEmpty(message = "At least one email is required")
+    @Size(max = MAX_EMAILS, message = "At most " + MAX_EMAILS + " emails can be deleted per request")
+    private List<@NotBlank(message = "Email is required") @Email(message = "Email must be a valid email address") String> emails;
+}
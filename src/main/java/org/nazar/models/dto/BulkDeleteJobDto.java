@@ -0,0 +1,26 @@
+package org.nazar.models.dto;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteJobDto {
+
+    private UUID id;
+
+    private String status;
+
+    private int total;
+
+    private int processed;
+
+    private int deleted;
+
+    private String failureMessage;
+}
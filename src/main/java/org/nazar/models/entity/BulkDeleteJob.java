@@ -0,0 +1,38 @@
+package org.nazar.models.entity;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+public class BulkDeleteJob {
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPACTING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final UUID id = UUID.randomUUID();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger deleted = new AtomicInteger();
+
+    @Setter
+    private volatile Status status = Status.PENDING;
+
+    @Setter
+    private volatile int total;
+
+    @Setter
+    private volatile String failureMessage;
+
+    @Setter
+    private volatile long finishedAtMillis;
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
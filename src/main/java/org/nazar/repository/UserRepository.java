@@ -2,55 +2,229 @@ package org.nazar.repository;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
 import org.nazar.models.entity.User;
 import org.springframework.stereotype.Component;
 
-@Getter
+/**
+ * In-memory user store. Users live in an append-only slot list with an email index, so a
+ * delete only clears its slot (a tombstone) instead of shifting the list. Tombstones are
+ * reclaimed by an incremental compaction that moves a bounded number of slots per step,
+ * releasing the lock in between so concurrent readers are never paused for a full pass.
+ */
 @Component
-@NoArgsConstructor
-@AllArgsConstructor
 public class UserRepository {
 
-    private List<User> users = new ArrayList<>();
+    static final int COMPACTION_BATCH_SIZE = 1024;
 
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 1024;
+
+    private final List<User> slots = new ArrayList<>();
+    private final Map<String, Integer> emailIndex = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private boolean compacting;
+    private int compactionReadCursor;
+    private int compactionWriteCursor;
+
+    /**
+     * Appends the user unless one with the same email already exists.
+     *
+     * @return the added user, or null if the email is already taken
+     */
     public User addNewUser(User user) {
-        users.add(user);
-        return user;
+        lock.writeLock().lock();
+        try {
+            if (emailIndex.putIfAbsent(user.getEmail(), slots.size()) != null) {
+                return null;
+            }
+            slots.add(user);
+            return user;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     public User updateUser(String email, User updatedUser) {
-        User user = getUserByEmail(email);
-        if (user != null) {
-            user.setFirstName(updatedUser.getFirstName());
-            user.setLastName(updatedUser.getLastName());
-            user.setBirthDate(updatedUser.getBirthDate());
-            user.setAddress(updatedUser.getAddress());
-            user.setPhoneNumber(updatedUser.getPhoneNumber());
+        lock.writeLock().lock();
+        try {
+            User user = findByEmail(email);
+            if (user != null) {
+                user.setFirstName(updatedUser.getFirstName());
+                user.setLastName(updatedUser.getLastName());
+                user.setBirthDate(updatedUser.getBirthDate());
+                user.setAddress(updatedUser.getAddress());
+                user.setPhoneNumber(updatedUser.getPhoneNumber());
 
-            return user;
+                return user;
+            }
+            return null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean deleteUser(String email) {
+        return deleteUserIf(email, user -> true);
+    }
+
+    /**
+     * Tombstones the user with the given email if it still matches {@code condition}.
+     *
+     * @return true if a user was deleted
+     */
+    public boolean deleteUserIf(String email, Predicate<User> condition) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = emailIndex.get(email);
+            if (slot == null || !condition.test(slots.get(slot))) {
+                return false;
+            }
+            emailIndex.remove(email);
+            slots.set(slot, null);
+            if (compacting || needsCompaction()) {
+                advanceCompaction(COMPACTION_BATCH_SIZE);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a full compaction one batch at a time, taking the write lock for each batch only.
+     */
+    void compact() {
+        while (!compactStep(COMPACTION_BATCH_SIZE)) {
+            Thread.yield();
         }
-        return null;
     }
 
-    public void deleteUser(String email) {
-        users.removeIf(user -> user.getEmail().equals(email));
+    /**
+     * Finishes a compaction in progress, or runs one if tombstones outnumber live users.
+     * Does nothing when there is too little garbage to be worth a pass.
+     */
+    public void compactIfNeeded() {
+        while (true) {
+            lock.writeLock().lock();
+            try {
+                if (!compacting && !needsCompaction()) {
+                    return;
+                }
+                if (advanceCompaction(COMPACTION_BATCH_SIZE)) {
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Moves up to {@code maxSlots} slots towards the front of the list.
+     *
+     * @return true once no compaction is in progress
+     */
+    boolean compactStep(int maxSlots) {
+        lock.writeLock().lock();
+        try {
+            if (!compacting && slots.size() == emailIndex.size()) {
+                return true;
+            }
+            return advanceCompaction(maxSlots);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int getTombstoneCount() {
+        lock.readLock().lock();
+        try {
+            return slots.size() - emailIndex.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<User> getUsers() {
+        lock.readLock().lock();
+        try {
+            return slots.stream()
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public List<User> getUsersByBirthDateRange(LocalDate startDate, LocalDate endDate) {
-        return users.stream()
-                .filter(user -> !user.getBirthDate().isBefore(startDate) && !user.getBirthDate().isAfter(endDate))
-                .collect(Collectors.toList());
+        lock.readLock().lock();
+        try {
+            return slots.stream()
+                    .filter(Objects::nonNull)
+                    .filter(user -> !user.getBirthDate().isBefore(startDate) && !user.getBirthDate().isAfter(endDate))
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public User getUserByEmail(String email) {
-        return users.stream()
-                .filter(user -> email.equals(user.getEmail()))
-                .findFirst()
-                .orElse(null);
+        lock.readLock().lock();
+        try {
+            return findByEmail(email);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private User findByEmail(String email) {
+        Integer slot = emailIndex.get(email);
+        return slot == null ? null : slots.get(slot);
+    }
+
+    private boolean needsCompaction() {
+        int tombstones = slots.size() - emailIndex.size();
+        return tombstones >= MIN_TOMBSTONES_FOR_COMPACTION && tombstones > emailIndex.size();
+    }
+
+    /**
+     * Must be called with the write lock held. Live users found behind the read cursor are
+     * moved down to the write cursor and their vacated slot is cleared, so every user stays
+     * visible exactly once between steps.
+     */
+    private boolean advanceCompaction(int maxSlots) {
+        if (!compacting) {
+            compacting = true;
+            compactionReadCursor = 0;
+            compactionWriteCursor = 0;
+        }
+        int end = Math.min(slots.size(), compactionReadCursor + maxSlots);
+        for (; compactionReadCursor < end; compactionReadCursor++) {
+            User user = slots.get(compactionReadCursor);
+            if (user == null) {
+                continue;
+            }
+            if (compactionReadCursor != compactionWriteCursor) {
+                slots.set(compactionWriteCursor, user);
+                slots.set(compactionReadCursor, null);
+                emailIndex.put(user.getEmail(), compactionWriteCursor);
+            }
+            compactionWriteCursor++;
+        }
+        if (compactionReadCursor < slots.size()) {
+            return false;
+        }
+        slots.subList(compactionWriteCursor, slots.size()).clear();
+        compacting = false;
+        return true;
     }
 }
@@ -0,0 +1,173 @@
+package org.nazar.service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import org.nazar.exceptions.ResourceNotFoundException;
+import org.nazar.exceptions.ServiceOverloadedException;
+import org.nazar.models.dto.BulkDeleteJobDto;
+import org.nazar.models.entity.BulkDeleteJob;
+import org.nazar.models.entity.User;
+import org.nazar.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs bulk deletions as background jobs. Each user is removed with its own short
+ * repository call, and the tombstones left behind are compacted once the job is done
+ * if there are enough of them. Only a limited number of jobs may be unfinished at once,
+ * so a client cannot queue unbounded work behind the executor. Finished jobs are kept for
+ * a retention period so their result can be read, and only the most recent ones are kept
+ * past a count cap.
+ */
+@Service
+public class BulkDeleteService {
+
+    private final UserRepository userRepository;
+    private final TaskExecutor taskExecutor;
+    private final long jobRetentionMillis;
+    private final int maxRetainedJobs;
+    private final int maxActiveJobs;
+    private final LongSupplier millisClock;
+    private final Map<UUID, BulkDeleteJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger activeJobs = new AtomicInteger();
+
+    @Autowired
+    public BulkDeleteService(UserRepository userRepository, TaskExecutor taskExecutor,
+                             @Value("${bulk-delete.job-retention-minutes:60}") long jobRetentionMinutes,
+                             @Value("${bulk-delete.max-retained-jobs:1000}") int maxRetainedJobs,
+                             @Value("${bulk-delete.max-active-jobs:16}") int maxActiveJobs) {
+        this(userRepository, taskExecutor, TimeUnit.MINUTES.toMillis(jobRetentionMinutes), maxRetainedJobs,
+                maxActiveJobs, System::currentTimeMillis);
+    }
+
+    BulkDeleteService(UserRepository userRepository, TaskExecutor taskExecutor, long jobRetentionMillis,
+                      int maxRetainedJobs, int maxActiveJobs, LongSupplier millisClock) {
+        this.userRepository = userRepository;
+        this.taskExecutor = taskExecutor;
+        this.jobRetentionMillis = jobRetentionMillis;
+        this.maxRetainedJobs = maxRetainedJobs;
+        this.maxActiveJobs = maxActiveJobs;
+        this.millisClock = millisClock;
+    }
+
+    public BulkDeleteJobDto deleteUsersByEmails(List<String> emails) {
+        List<String> snapshot = List.copyOf(emails);
+        return submit(job -> deleteAll(job, snapshot, user -> true));
+    }
+
+    public BulkDeleteJobDto deleteUsersByBirthDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date should be before end date ");
+        }
+        Predicate<User> inRange = user -> !user.getBirthDate().isBefore(from) && !user.getBirthDate().isAfter(to);
+        return submit(job -> {
+            List<String> emails = userRepository.getUsersByBirthDateRange(from, to)
+                    .stream().map(User::getEmail).toList();
+            deleteAll(job, emails, inRange);
+        });
+    }
+
+    public BulkDeleteJobDto getJob(UUID id) {
+        BulkDeleteJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Bulk delete job not found with id: " + id);
+        }
+        return toDto(job);
+    }
+
+    /**
+     * Rejects the job with {@link ServiceOverloadedException} when too many jobs are still
+     * unfinished or the executor refuses it, so nothing is left behind as a job that never runs.
+     */
+    private BulkDeleteJobDto submit(Consumer<BulkDeleteJob> task) {
+        evictFinishedJobs();
+        if (activeJobs.incrementAndGet() > maxActiveJobs) {
+            activeJobs.decrementAndGet();
+            throw new ServiceOverloadedException("Too many bulk delete jobs in progress, please retry later");
+        }
+        BulkDeleteJob job = new BulkDeleteJob();
+        jobs.put(job.getId(), job);
+        try {
+            taskExecutor.execute(() -> run(job, task));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getId());
+            activeJobs.decrementAndGet();
+            throw new ServiceOverloadedException("Bulk delete job could not be scheduled, please retry later");
+        }
+        return toDto(job);
+    }
+
+    private void run(BulkDeleteJob job, Consumer<BulkDeleteJob> task) {
+        try {
+            job.setStatus(BulkDeleteJob.Status.RUNNING);
+            task.accept(job);
+            if (job.getDeleted().get() > 0) {
+                job.setStatus(BulkDeleteJob.Status.COMPACTING);
+                userRepository.compactIfNeeded();
+            }
+            finish(job, BulkDeleteJob.Status.COMPLETED);
+        } catch (RuntimeException e) {
+            job.setFailureMessage(e.getMessage());
+            finish(job, BulkDeleteJob.Status.FAILED);
+        }
+    }
+
+    private void finish(BulkDeleteJob job, BulkDeleteJob.Status status) {
+        job.setFinishedAtMillis(millisClock.getAsLong());
+        job.setStatus(status);
+        activeJobs.decrementAndGet();
+    }
+
+    /**
+     * Drops finished jobs past their retention period, then the oldest finished jobs
+     * above the count cap. Jobs that are still running are never evicted.
+     */
+    private void evictFinishedJobs() {
+        long expiredBefore = millisClock.getAsLong() - jobRetentionMillis;
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAtMillis() <= expiredBefore);
+
+        List<BulkDeleteJob> finished = jobs.values().stream()
+                .filter(BulkDeleteJob::isFinished)
+                .sorted(Comparator.comparingLong(BulkDeleteJob::getFinishedAtMillis))
+                .toList();
+        for (int i = 0; i < finished.size() - maxRetainedJobs; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+
+    /**
+     * The condition is re-checked under the repository lock, so a user that was changed
+     * after the job collected its emails is only removed if it still qualifies.
+     */
+    private void deleteAll(BulkDeleteJob job, List<String> emails, Predicate<User> condition) {
+        job.setTotal(emails.size());
+        for (String email : emails) {
+            if (userRepository.deleteUserIf(email, condition)) {
+                job.getDeleted().incrementAndGet();
+            }
+            job.getProcessed().incrementAndGet();
+        }
+    }
+
+    private BulkDeleteJobDto toDto(BulkDeleteJob job) {
+        return BulkDeleteJobDto.builder()
+                .id(job.getId())
+                .status(job.getStatus().name())
+                .total(job.getTotal())
+                .processed(job.getProcessed().get())
+                .deleted(job.getDeleted().get())
+                .failureMessage(job.getFailureMessage())
+                .build();
+    }
+}
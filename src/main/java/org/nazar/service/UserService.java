@@ -25,17 +25,15 @@ public class UserService {
     }
 
     public UserDto registerUser(UserDto requestDto) {
-        User existingUser = userRepository.getUserByEmail(requestDto.getEmail());
-
         if (requestDto.getBirthDate().getYear() + lowestAge > LocalDate.now().getYear()) {
             throw new IllegalArgumentException("User must be 18 years old or older");
         }
 
-        if (existingUser == null) {
-            return userMapper.toDto(userRepository.addNewUser(userMapper.toEntity(requestDto)));
-        } else {
+        User createdUser = userRepository.addNewUser(userMapper.toEntity(requestDto));
+        if (createdUser == null) {
             throw new IllegalArgumentException("User already exists");
         }
+        return userMapper.toDto(createdUser);
     }
 
     public UserDto updateUser(String email, UserDto updatedUser) {
@@ -47,11 +45,9 @@ public class UserService {
     }
 
     public void deleteUser(String email) {
-        User user = userRepository.getUserByEmail(email);
-        if (user == null) {
+        if (!userRepository.deleteUser(email)) {
             throw new ResourceNotFoundException("User not found with email: " + email);
         }
-        userRepository.deleteUser(email);
     }
 
     public List<UserDto> getUsersByBirthDateRange(LocalDate from, LocalDate to) {
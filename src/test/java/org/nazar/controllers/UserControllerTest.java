@@ -3,25 +3,44 @@ package org.nazar.controllers;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
+import org.nazar.models.dto.BulkDeleteJobDto;
 import org.nazar.models.dto.UserDto;
+import org.nazar.service.BulkDeleteService;
 import org.nazar.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(UserController.class)
+@WebMvcTest(value = UserController.class, properties = {
+        "rate-limit.capacity=40",
+        "rate-limit.refill-per-second=1",
+        "load-shedding.initial-limit=1",
+        "load-shedding.min-limit=1",
+        "load-shedding.max-limit=1"
+})
 public class UserControllerTest {
 
     @Autowired
@@ -30,6 +49,9 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private BulkDeleteService bulkDeleteService;
+
     @Test
     public void testRegisterUser_Success() throws Exception {
         UserDto responseDto = new UserDto("test@example.com", "John", "Doe", LocalDate.of(1990, 1, 1), null, null);
@@ -92,4 +114,205 @@ public class UserControllerTest {
                 .andExpect(jsonPath("$[0].email").value("user1@example.com"))
                 .andExpect(jsonPath("$[1].email").value("user2@example.com"));
     }
+
+    @Test
+    public void testDeleteUsersByEmails_Accepted() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        BulkDeleteJobDto job = new BulkDeleteJobDto(jobId, "PENDING", 0, 0, 0, null);
+        when(bulkDeleteService.deleteUsersByEmails(List.of("user1@example.com", "user2@example.com"))).thenReturn(job);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/users/deletions/by-email")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"emails\": [\"user1@example.com\", \"user2@example.com\"] }")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(jobId.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    public void testDeleteUsersByEmails_EmptyList_BadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/users/deletions/by-email")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"emails\": [] }")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testDeleteUsersByEmails_NullEmail_BadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/users/deletions/by-email")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"emails\": [null] }")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testDeleteUsersByEmails_ChargedPerEmail() throws Exception {
+        mockMvc.perform(bulkDeleteByEmail(40).with(fromAddress("10.0.0.7")))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", "test@example.com")
+                        .with(fromAddress("10.0.0.7")))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    public void testDeleteUsersByEmails_MoreEmailsThanCapacity_ChargedFullBucket() throws Exception {
+        mockMvc.perform(bulkDeleteByEmail(60).with(fromAddress("10.0.0.8")))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", "test@example.com")
+                        .with(fromAddress("10.0.0.8")))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    public void testDeleteUsersByEmails_Rejected_InitialChargeRefunded() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", "test@example.com")
+                            .with(fromAddress("10.0.0.9")))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(bulkDeleteByEmail(60).with(fromAddress("10.0.0.9")))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(bulkDeleteByEmail(20).with(fromAddress("10.0.0.9")))
+                .andExpect(status().isAccepted());
+    }
+
+    @Test
+    public void testDeleteUsersByBirthDateRange_Accepted() throws Exception {
+        LocalDate startDate = LocalDate.of(2023, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 1);
+        UUID jobId = UUID.randomUUID();
+        when(bulkDeleteService.deleteUsersByBirthDateRange(startDate, endDate))
+                .thenReturn(new BulkDeleteJobDto(jobId, "PENDING", 0, 0, 0, null));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/users/deletions/by-birth-date")
+                        .param("start", startDate.toString())
+                        .param("end", endDate.toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(jobId.toString()));
+    }
+
+    @Test
+    public void testGetBulkDeleteJob_Success() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        when(bulkDeleteService.getJob(jobId)).thenReturn(new BulkDeleteJobDto(jobId, "RUNNING", 10, 4, 3, null));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users/deletions/{jobId}", jobId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.total").value(10))
+                .andExpect(jsonPath("$.processed").value(4))
+                .andExpect(jsonPath("$.deleted").value(3));
+    }
+
+    @Test
+    public void testRateLimit_BucketExhausted_TooManyRequests() throws Exception {
+        MvcResult rejected = null;
+        for (int i = 0; i < 50 && rejected == null; i++) {
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", "test@example.com")
+                            .with(fromAddress("10.0.0.1")))
+                    .andReturn();
+            if (result.getResponse().getStatus() == 429) {
+                rejected = result;
+            }
+        }
+
+        assertNotNull(rejected);
+        assertEquals("1", rejected.getResponse().getHeader("Retry-After"));
+    }
+
+    @Test
+    public void testRateLimit_WideRangeScanChargedMoreThanWrite() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users")
+                        .param("start", "1900-01-01")
+                        .param("end", "2000-01-01")
+                        .with(fromAddress("10.0.0.2")))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", "test@example.com")
+                        .with(fromAddress("10.0.0.2")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value("too_many_requests"));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", "test@example.com")
+                        .with(fromAddress("10.0.0.3")))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", "test@example.com")
+                        .with(fromAddress("10.0.0.3")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testRateLimit_ClientIdHeaderFromUntrustedAddress_Ignored() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users")
+                        .param("start", "1900-01-01")
+                        .param("end", "2000-01-01")
+                        .header("X-Client-Id", "first")
+                        .with(fromAddress("10.0.0.6")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", "test@example.com")
+                        .header("X-Client-Id", "second")
+                        .with(fromAddress("10.0.0.6")))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    public void testLoadShedding_ConcurrencyLimitReached_ServiceUnavailable() throws Exception {
+        String email = "slow@example.com";
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(userService).deleteUser(email);
+
+        AtomicReference<MvcResult> slowResult = new AtomicReference<>();
+        Thread slowRequest = new Thread(() -> {
+            try {
+                slowResult.set(mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", email)
+                        .with(fromAddress("10.0.0.4"))).andReturn());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        slowRequest.start();
+
+        try {
+            entered.await(5, TimeUnit.SECONDS);
+            mockMvc.perform(MockMvcRequestBuilders.delete("/api/v1/users/{email}", "test@example.com")
+                            .with(fromAddress("10.0.0.5")))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists("Retry-After"))
+                    .andExpect(jsonPath("$.status").value("service_unavailable"));
+        } finally {
+            release.countDown();
+            slowRequest.join();
+        }
+
+        assertEquals(200, slowResult.get().getResponse().getStatus());
+    }
+
+    private static MockHttpServletRequestBuilder bulkDeleteByEmail(int count) {
+        StringBuilder emails = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            emails.append(i == 0 ? "" : ", ").append("\"user").append(i).append("@example.com\"");
+        }
+        return MockMvcRequestBuilders.post("/api/v1/users/deletions/by-email")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{ \"emails\": [" + emails + "] }");
+    }
+
+    private static RequestPostProcessor fromAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
 }
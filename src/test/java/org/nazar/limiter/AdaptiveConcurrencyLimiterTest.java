@@ -0,0 +1,138 @@
+package org.nazar.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.nazar.limiter.AdaptiveConcurrencyLimiter.RequestClass;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testTryAcquire_LimitReached_Rejected() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    void testRelease_HealthyWindowInUse_LimitIncreasesOnce() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(2, 1, 10);
+
+        saturatedWindow(limiter, RequestClass.POINT, 1_000);
+
+        assertEquals(3, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testRelease_IdleWindow_LimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(8, 1, 10);
+
+        quietWindow(limiter, RequestClass.POINT, 1_000);
+
+        assertEquals(8, limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_MixedLatenciesAtLowConcurrency_LimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20, 4, 200);
+
+        for (int window = 0; window < 20; window++) {
+            long spike = window % 3 == 0 ? 25_000 : 5_000;
+            quietWindow(limiter, RequestClass.SCAN, 1_000, 1_000, 1_000, 1_000, spike);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_SaturatedSlowWindow_LimitCutOnce() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(8, 1, 10);
+        quietWindow(limiter, RequestClass.POINT, 1_000);
+
+        saturatedWindow(limiter, RequestClass.POINT, 10_000);
+
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_SustainedOverload_BaselineDoesNotDrift() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(8, 2, 10);
+        quietWindow(limiter, RequestClass.POINT, 1_000);
+
+        for (int window = 0; window < 3; window++) {
+            saturatedWindow(limiter, RequestClass.POINT, 50_000);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testRelease_SlowScansDoNotCountAgainstPointBaseline() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(4, 1, 10);
+        quietWindow(limiter, RequestClass.POINT, 1_000);
+        quietWindow(limiter, RequestClass.SCAN, 100_000);
+        int limitBefore = limiter.getLimit();
+
+        for (int i = 0; i < limitBefore; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        limiter.release(RequestClass.POINT, 1_000);
+        limiter.release(RequestClass.POINT, 1_000);
+        limiter.release(RequestClass.SCAN, 100_000);
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.release(RequestClass.SCAN, 100_000);
+
+        assertTrue(limiter.getLimit() >= limitBefore);
+    }
+
+    @Test
+    void testConstructor_InvalidLimits_ExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 2, 10, 2.0, 0.5, 100));
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, 2.0, 0.5,
+                TimeUnit.NANOSECONDS.toMillis(WINDOW_NANOS), clock::get);
+    }
+
+    /**
+     * Runs requests one at a time and closes the window with the last one.
+     */
+    private void quietWindow(AdaptiveConcurrencyLimiter limiter, RequestClass requestClass, long... latencies) {
+        for (int i = 0; i < latencies.length; i++) {
+            assertTrue(limiter.tryAcquire());
+            if (i == latencies.length - 1) {
+                clock.addAndGet(WINDOW_NANOS);
+            }
+            limiter.release(requestClass, latencies[i]);
+        }
+    }
+
+    /**
+     * Fills every slot of the current limit and closes the window with the last release.
+     */
+    private void saturatedWindow(AdaptiveConcurrencyLimiter limiter, RequestClass requestClass, long latencyNanos) {
+        int slots = limiter.getLimit();
+        for (int i = 0; i < slots; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < slots - 1; i++) {
+            limiter.release(requestClass, latencyNanos);
+        }
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.release(requestClass, latencyNanos);
+    }
+}
@@ -0,0 +1,96 @@
+package org.nazar.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketRateLimiterTest {
+
+    @Test
+    void testTryAcquire_WithinCapacity_Granted() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 1, 100, clock::get);
+
+        assertEquals(0, rateLimiter.tryAcquire("client", 4));
+        assertEquals(0, rateLimiter.tryAcquire("client", 6));
+    }
+
+    @Test
+    void testTryAcquire_BucketEmpty_ReturnsWaitTime() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 2, 100, clock::get);
+        rateLimiter.tryAcquire("client", 10);
+
+        long waitNanos = rateLimiter.tryAcquire("client", 4);
+
+        assertEquals(TimeUnit.SECONDS.toNanos(2), waitNanos, 1.0);
+    }
+
+    @Test
+    void testTryAcquire_AfterRefill_Granted() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10, 2, 100, clock::get);
+        rateLimiter.tryAcquire("client", 10);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(3));
+
+        assertEquals(0, rateLimiter.tryAcquire("client", 4));
+        assertTrue(rateLimiter.tryAcquire("client", 3) > 0);
+    }
+
+    @Test
+    void testTryAcquire_ClientsHaveSeparateBuckets() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(5, 1, 100, clock::get);
+        rateLimiter.tryAcquire("greedy", 5);
+
+        assertTrue(rateLimiter.tryAcquire("greedy", 1) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("polite", 1));
+    }
+
+    @Test
+    void testTryAcquire_CostAboveCapacity_Clamped() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(5, 1, 100, clock::get);
+
+        assertEquals(0, rateLimiter.tryAcquire("client", 1000));
+    }
+
+    @Test
+    void testRefund_TokensReturnedToBucket() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(5, 1, 100, clock::get);
+        rateLimiter.tryAcquire("client", 5);
+
+        rateLimiter.refund("client", 5);
+
+        assertEquals(0, rateLimiter.tryAcquire("client", 5));
+    }
+
+    @Test
+    void testTryAcquire_BeyondMaxTrackedClients_LeastRecentlyUsedEvicted() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(5, 1, 10, clock::get);
+        rateLimiter.tryAcquire("regular", 5);
+
+        for (int i = 0; i < 100; i++) {
+            clock.incrementAndGet();
+            rateLimiter.tryAcquire("rotating-" + i, 1);
+            if (i % 5 == 0) {
+                rateLimiter.tryAcquire("regular", 1);
+            }
+        }
+
+        assertTrue(rateLimiter.getTrackedClientCount() <= 10);
+        assertTrue(rateLimiter.tryAcquire("regular", 1) > 0);
+    }
+
+    @Test
+    void testConstructor_NonPositiveCapacity_ExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucketRateLimiter(0, 1, 100));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.nazar.models.entity.User;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -26,6 +27,28 @@ public class UserRepositoryTest {
         assertEquals(1, userRepository.getUsers().size());
     }
 
+    @Test
+    void testAddNewUser_DuplicateEmail_OriginalKept() {
+        UserRepository userRepository = new UserRepository();
+        User user = new User("test@test.com",
+                "John",
+                "Doe",
+                LocalDate.of(2000, 1, 1),
+                "123 Street",
+                "1234567890");
+        User duplicate = new User("test@test.com",
+                "Jane",
+                "Doe",
+                LocalDate.of(2001, 2, 2),
+                "456 Avenue",
+                "0987654321");
+        userRepository.addNewUser(user);
+
+        assertNull(userRepository.addNewUser(duplicate));
+        assertEquals(1, userRepository.getUsers().size());
+        assertEquals("John", userRepository.getUserByEmail("test@test.com").getFirstName());
+    }
+
     @Test
     void testUpdateUser() {
         UserRepository userRepository = new UserRepository();
@@ -74,9 +97,71 @@ public class UserRepositoryTest {
                 "1234567890");
         userRepository.addNewUser(user);
 
-        userRepository.deleteUser("test@test.com");
+        assertTrue(userRepository.deleteUser("test@test.com"));
 
         assertTrue(userRepository.getUsers().isEmpty());
+        assertNull(userRepository.getUserByEmail("test@test.com"));
+    }
+
+    @Test
+    void testDeleteNonExistentUser() {
+        UserRepository userRepository = new UserRepository();
+
+        assertFalse(userRepository.deleteUser("nonexistent@test.com"));
+    }
+
+    @Test
+    void testDeleteUserIf_ConditionNotMet_UserKept() {
+        UserRepository userRepository = new UserRepository();
+        User user = new User("test@test.com",
+                "John",
+                "Doe",
+                LocalDate.of(2000, 1, 1),
+                "123 Street",
+                "1234567890");
+        userRepository.addNewUser(user);
+
+        assertFalse(userRepository.deleteUserIf("test@test.com", u -> u.getBirthDate().getYear() > 2000));
+        assertEquals(user, userRepository.getUserByEmail("test@test.com"));
+    }
+
+    @Test
+    void testCompactIfNeeded_FewTombstones_NothingCompacted() {
+        UserRepository userRepository = new UserRepository();
+        userRepository.addNewUser(new User("test1@test.com", "John", "Doe", LocalDate.of(2000, 1, 1), null, null));
+        userRepository.addNewUser(new User("test2@test.com", "Jane", "Doe", LocalDate.of(2000, 1, 1), null, null));
+        userRepository.deleteUser("test1@test.com");
+
+        userRepository.compactIfNeeded();
+
+        assertEquals(1, userRepository.getTombstoneCount());
+    }
+
+    @Test
+    void testCompact_TombstonesReclaimed() {
+        UserRepository userRepository = new UserRepository();
+        for (int i = 0; i < 10; i++) {
+            userRepository.addNewUser(new User("test" + i + "@test.com",
+                    "John",
+                    "Doe",
+                    LocalDate.of(2000, 1, 1),
+                    "123 Street",
+                    "1234567890"));
+        }
+        for (int i = 0; i < 10; i += 2) {
+            userRepository.deleteUser("test" + i + "@test.com");
+        }
+        assertEquals(5, userRepository.getTombstoneCount());
+
+        assertFalse(userRepository.compactStep(4));
+        assertEquals(5, userRepository.getUsers().size());
+        userRepository.compact();
+
+        assertEquals(0, userRepository.getTombstoneCount());
+        assertEquals(5, userRepository.getUsers().size());
+        for (int i = 1; i < 10; i += 2) {
+            assertEquals("test" + i + "@test.com", userRepository.getUserByEmail("test" + i + "@test.com").getEmail());
+        }
     }
 
     @Test
@@ -0,0 +1,149 @@
+package org.nazar.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.nazar.exceptions.ResourceNotFoundException;
+import org.nazar.exceptions.ServiceOverloadedException;
+import org.nazar.models.dto.BulkDeleteJobDto;
+import org.nazar.models.entity.User;
+import org.nazar.repository.UserRepository;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BulkDeleteServiceTest {
+
+    private final UserRepository userRepository = new UserRepository();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final BulkDeleteService bulkDeleteService =
+            new BulkDeleteService(userRepository, Runnable::run, 1_000, 2, 2, clock::get);
+
+    public BulkDeleteServiceTest() {
+        userRepository.addNewUser(new User("user1@example.com", "John", "Doe", LocalDate.of(1990, 1, 1), null, null));
+        userRepository.addNewUser(new User("user2@example.com", "Jane", "Doe", LocalDate.of(1995, 6, 6), null, null));
+        userRepository.addNewUser(new User("user3@example.com", "Jack", "Doe", LocalDate.of(2000, 3, 3), null, null));
+    }
+
+    @Test
+    public void testDeleteUsersByEmails_ReportsProgress() {
+        BulkDeleteJobDto submitted = bulkDeleteService.deleteUsersByEmails(
+                List.of("user1@example.com", "user3@example.com", "missing@example.com"));
+
+        BulkDeleteJobDto job = bulkDeleteService.getJob(submitted.getId());
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(3, job.getTotal());
+        assertEquals(3, job.getProcessed());
+        assertEquals(2, job.getDeleted());
+        assertNull(userRepository.getUserByEmail("user1@example.com"));
+        assertNotNull(userRepository.getUserByEmail("user2@example.com"));
+        assertEquals(2, userRepository.getTombstoneCount());
+    }
+
+    @Test
+    public void testDeleteUsersByBirthDateRange_DeletesOnlyUsersInRange() {
+        BulkDeleteJobDto submitted = bulkDeleteService.deleteUsersByBirthDateRange(
+                LocalDate.of(1994, 1, 1), LocalDate.of(2001, 1, 1));
+
+        BulkDeleteJobDto job = bulkDeleteService.getJob(submitted.getId());
+
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(2, job.getDeleted());
+        assertEquals(1, userRepository.getUsers().size());
+        assertEquals("user1@example.com", userRepository.getUsers().getFirst().getEmail());
+    }
+
+    @Test
+    public void testDeleteUsersByBirthDateRange_StartDateAfterEndDate_ExceptionThrown() {
+        LocalDate fromDate = LocalDate.of(2024, 1, 1);
+        LocalDate toDate = LocalDate.of(2023, 1, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkDeleteService.deleteUsersByBirthDateRange(fromDate, toDate));
+    }
+
+    @Test
+    public void testSubmit_FinishedJobPastRetention_Evicted() {
+        BulkDeleteJobDto expired = bulkDeleteService.deleteUsersByEmails(List.of("user1@example.com"));
+        clock.addAndGet(1_000);
+
+        BulkDeleteJobDto current = bulkDeleteService.deleteUsersByEmails(List.of("user2@example.com"));
+
+        assertThrows(ResourceNotFoundException.class, () -> bulkDeleteService.getJob(expired.getId()));
+        assertEquals("COMPLETED", bulkDeleteService.getJob(current.getId()).getStatus());
+    }
+
+    @Test
+    public void testSubmit_FinishedJobsAboveCap_OldestEvicted() {
+        BulkDeleteJobDto oldest = bulkDeleteService.deleteUsersByEmails(List.of("user1@example.com"));
+        clock.incrementAndGet();
+        BulkDeleteJobDto second = bulkDeleteService.deleteUsersByEmails(List.of("user2@example.com"));
+        clock.incrementAndGet();
+        BulkDeleteJobDto third = bulkDeleteService.deleteUsersByEmails(List.of("user3@example.com"));
+        clock.incrementAndGet();
+
+        BulkDeleteJobDto newest = bulkDeleteService.deleteUsersByEmails(List.of("missing@example.com"));
+
+        assertThrows(ResourceNotFoundException.class, () -> bulkDeleteService.getJob(oldest.getId()));
+        assertNotNull(bulkDeleteService.getJob(second.getId()));
+        assertNotNull(bulkDeleteService.getJob(third.getId()));
+        assertNotNull(bulkDeleteService.getJob(newest.getId()));
+    }
+
+    @Test
+    public void testDeleteUsersByEmails_NothingDeleted_NoCompaction() {
+        userRepository.deleteUser("user1@example.com");
+
+        BulkDeleteJobDto submitted = bulkDeleteService.deleteUsersByEmails(List.of("missing@example.com"));
+
+        assertEquals(0, bulkDeleteService.getJob(submitted.getId()).getDeleted());
+        assertEquals(1, userRepository.getTombstoneCount());
+    }
+
+    @Test
+    public void testSubmit_TooManyUnfinishedJobs_ExceptionThrown() {
+        BulkDeleteService stalled = new BulkDeleteService(userRepository, task -> { }, 1_000, 2, 2, clock::get);
+        stalled.deleteUsersByEmails(List.of("user1@example.com"));
+        stalled.deleteUsersByEmails(List.of("user2@example.com"));
+
+        assertThrows(ServiceOverloadedException.class,
+                () -> stalled.deleteUsersByEmails(List.of("user3@example.com")));
+    }
+
+    @Test
+    public void testSubmit_ExecutorRejectsJob_JobDiscarded() {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        TaskExecutor executor = task -> {
+            if (rejecting.get()) {
+                throw new TaskRejectedException("Executor is full");
+            }
+            task.run();
+        };
+        BulkDeleteService service = new BulkDeleteService(userRepository, executor, 1_000, 2, 1, clock::get);
+
+        assertThrows(ServiceOverloadedException.class,
+                () -> service.deleteUsersByEmails(List.of("user1@example.com")));
+        rejecting.set(false);
+        BulkDeleteJobDto job = service.deleteUsersByEmails(List.of("user1@example.com"));
+
+        assertEquals("COMPLETED", service.getJob(job.getId()).getStatus());
+        assertNull(userRepository.getUserByEmail("user1@example.com"));
+    }
+
+    @Test
+    public void testGetJob_JobNotFound_ExceptionThrown() {
+        UUID id = UUID.randomUUID();
+
+        assertThrows(ResourceNotFoundException.class, () -> bulkDeleteService.getJob(id));
+    }
+}
@@ -12,6 +12,7 @@ import org.nazar.mappers.UserMapper;
 import org.nazar.models.dto.UserDto;
 import org.nazar.models.entity.User;
 import org.nazar.repository.UserRepository;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -19,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,6 +37,7 @@ public class UserServiceTest {
 
     public UserServiceTest() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(userService, "lowestAge", 18);
     }
 
     @Test
@@ -53,7 +56,6 @@ public class UserServiceTest {
                 null,
                 null
         );
-        when(userRepository.getUserByEmail(requestDto.getEmail())).thenReturn(null);
         when(userMapper.toEntity(requestDto)).thenReturn(userEntity);
         when(userRepository.addNewUser(userEntity)).thenReturn(userEntity);
         when(userMapper.toDto(userEntity)).thenReturn(requestDto);
@@ -63,7 +65,6 @@ public class UserServiceTest {
         assertNotNull(result);
         assertEquals(requestDto.getEmail(), result.getEmail());
         assertEquals(requestDto.getBirthDate(), result.getBirthDate());
-        verify(userRepository, times(1)).getUserByEmail(requestDto.getEmail());
         verify(userRepository, times(1)).addNewUser(userEntity);
     }
 
@@ -75,7 +76,9 @@ public class UserServiceTest {
                 .lastName("Doe")
                 .birthDate(LocalDate.of(1990, 1, 1))
                 .build();
-        when(userRepository.getUserByEmail(any())).thenReturn(mock(User.class));
+        User userEntity = new User("test2@example.com", "John", "Doe", LocalDate.of(1990, 1, 1), null, null);
+        when(userMapper.toEntity(requestDto)).thenReturn(userEntity);
+        when(userRepository.addNewUser(userEntity)).thenReturn(null);
         assertThrows(IllegalArgumentException.class, () -> userService.registerUser(requestDto));
     }
 
@@ -88,8 +91,8 @@ public class UserServiceTest {
                 .birthDate(LocalDate.now())
                 .build();
 
-        when(userRepository.getUserByEmail("test@example.com")).thenReturn(mock(User.class));
         assertThrows(IllegalArgumentException.class, () -> userService.registerUser(requestDto));
+        verify(userRepository, never()).addNewUser(any());
     }
 
     @Test
@@ -101,6 +104,7 @@ public class UserServiceTest {
                 .birthDate(LocalDate.of(1990, 1, 1))
                 .build();
         when(userRepository.updateUser(eq("test1@example.com"), any(User.class))).thenReturn(null);
+        when(userRepository.addNewUser(any())).thenReturn(mock(User.class));
 
         userService.updateUser("test@example.com", updatedUserDto);
     }
@@ -108,7 +112,7 @@ public class UserServiceTest {
     @Test
     public void testDeleteUser_UserExists_DeleteSuccessful() {
         String email = "test@example.com";
-        when(userRepository.getUserByEmail(email)).thenReturn(mock(User.class));
+        when(userRepository.deleteUser(email)).thenReturn(true);
 
         userService.deleteUser(email);
 
@@ -118,7 +122,7 @@ public class UserServiceTest {
     @Test
     public void testDeleteUser_UserNotFound_ExceptionThrown() {
         String email = "nonexistent@example.com";
-        when(userRepository.getUserByEmail(email)).thenReturn(null);
+        when(userRepository.deleteUser(email)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () -> userService.deleteUser(email));
     }